@@ -43,6 +43,9 @@ public class AuthorisationAspect {
     @Autowired
     private RoleService roleService;
 
+    @Autowired
+    private PermissionGuard permissionGuard;
+
     /**
      * Advice for permission check. Authenticated User is fetched from org.springframework.security.core.Authentication.getPrincipal().
      * And list of roles are fetched using roleService and SecurityContextHolder.getContext().getAuthentication().getAuthorities()
@@ -87,8 +90,7 @@ public class AuthorisationAspect {
                     LOGGER.info("RequestObject: {}", requestObject.toString());
                     try {
                         // validate permission
-                        if (permission.isAuthorised(user, requestObject)) {
-                            permissionMatched = true;
+                        if (permissionGuard.isAuthorised(permission, user, requestObject)) {
                             LOGGER.info("Permission Valid. Now checking {} additional rules.",
                                 role.getRules().size());
                             if (role.getRules().size() > 0) {
@@ -104,8 +106,8 @@ public class AuthorisationAspect {
                                         businessObject = joinPoint.proceed();
                                         returnValueAvailable = true;
                                     } else {
-                                        businessObject = permission
-                                            .getBusinessObject(requestObject);
+                                        businessObject = permissionGuard
+                                            .getBusinessObject(permission, requestObject);
                                     }
                                     if (businessObject == null) {
                                         throw new NullPointerException(
@@ -115,7 +117,7 @@ public class AuthorisationAspect {
                                     }
                                 } else {
                                     if(!permission.useReturnValueAsBusinessObject()) {
-                                        Object ruleBusinessObject = permission.getBusinessObject(requestObject);
+                                        Object ruleBusinessObject = permissionGuard.getBusinessObject(permission, requestObject);
                                         if(!ruleBusinessObject.getClass().equals(businessObject.getClass())) {
                                             throw new AuthorisationException(
                                                 "Permissions on same method should return same business object");
@@ -125,6 +127,8 @@ public class AuthorisationAspect {
                                 rulesToBeEvaluate.add(role.getRules());
                                 rulesArguments.add(role.getArguments());
                             }
+                            // matched only once rules of role are in place
+                            permissionMatched = true;
                         }
                     } catch (BeansException ex) {
                         LOGGER.error("Exception in getting permission/rule class bean", ex);
@@ -132,6 +136,9 @@ public class AuthorisationAspect {
                     } catch (AuthorisationException ex) {
                         LOGGER.info("authorisation failure: {}", ex.getMessage());
                         authorisationException = ex;
+                    } catch (PermissionUnavailableException ex) {
+                        LOGGER.warn("Business object not available: {}", ex.getMessage());
+                        authorisationException = new AuthorisationException(authorizationFailureMessage);
                     }
                 }
             }
@@ -149,7 +156,7 @@ public class AuthorisationAspect {
         throw new AuthorisationException(authorizationFailureMessage);
     }
 
-    private boolean validateRules(Object user, Object businessObjects, List<List<BusinessObjectRule>> rules, List<List<List<String>>> args) throws Exception {
+    boolean validateRules(Object user, Object businessObjects, List<List<BusinessObjectRule>> rules, List<List<List<String>>> args) throws Exception {
         if(rules.size() == 0) {
             return true;
         }
@@ -159,7 +166,7 @@ public class AuthorisationAspect {
         } else {
             int i=0;
             for(List<BusinessObjectRule> ruleList : rules) {
-                if (checkRules(user, businessObjects, ruleList, args.get(i))) {
+                if (checkRules(user, businessObjects, ruleList, args.get(i), null)) {
                     return true;
                 }
                 i++;
@@ -174,10 +181,12 @@ public class AuthorisationAspect {
             return true;
         }
         int validObjects = 0;
+        // rule results of this request, keyed on (rule, args, key)
+        Map<List<Object>, Boolean> ruleResults = new HashMap<>();
         for (Object businessObject : collection) {
             int i=0;
             for(List<BusinessObjectRule> ruleList : rules) {
-                if (checkRules(user, businessObject, ruleList, args.get(i))) {
+                if (checkRules(user, businessObject, ruleList, args.get(i), ruleResults)) {
                     validObjects++;
                     break;
                 }
@@ -196,14 +205,15 @@ public class AuthorisationAspect {
      * @param user
      * @param businessObject
      * @param args
+     * @param ruleResults results of rules declaring a key, null to evaluate every rule
      * @return boolean
      * @throws Throwable
      */
-    private boolean checkRules(Object user, Object businessObject, List<BusinessObjectRule> businessRules, List<List<String>> args) throws Exception {
+    private boolean checkRules(Object user, Object businessObject, List<BusinessObjectRule> businessRules, List<List<String>> args, Map<List<Object>, Boolean> ruleResults) throws Exception {
         if (businessRules != null && businessRules.size() > 0) {
             for (int j = 0; j < businessRules.size(); j++) {
                 BusinessObjectRule rule = businessRules.get(j);
-                if (!rule.validate(user, businessObject, args.get(j))) {
+                if (!validateRule(user, businessObject, rule, args.get(j), ruleResults)) {
                     LOGGER.info("Rule failed: {}", rule.getClass().getSimpleName());
                     return false;
                 }
@@ -212,6 +222,31 @@ public class AuthorisationAspect {
         return true;
     }
 
+    /**
+     * Rule is evaluated once for each distinct (rule, args, key), if rule declares key of businessObject.
+     *
+     * @param user
+     * @param businessObject
+     * @param rule
+     * @param args
+     * @param ruleResults
+     * @return boolean
+     * @throws Exception
+     */
+    private boolean validateRule(Object user, Object businessObject, BusinessObjectRule rule, List<String> args, Map<List<Object>, Boolean> ruleResults) throws Exception {
+        Object key = ruleResults != null ? rule.getKey(businessObject) : null;
+        if (key == null) {
+            return rule.validate(user, businessObject, args);
+        }
+        List<Object> resultKey = Arrays.asList(rule, args, key);
+        Boolean result = ruleResults.get(resultKey);
+        if (result == null) {
+            result = rule.validate(user, businessObject, args);
+            ruleResults.put(resultKey, result);
+        }
+        return result;
+    }
+
     /**
      * Extract request parameters
      *
@@ -36,4 +36,42 @@ public abstract class BasePermission {
     public boolean useReturnValueAsBusinessObject() {
         return false;
     }
+
+    /**
+     * Time budget of isAuthorised and getBusinessObject calls in milliseconds, 0 for no limit. If a call
+     * does not complete in time, getFallbackDecision() is used for isAuthorised and permission is not
+     * matched for getBusinessObject.
+     *
+     * With a time budget, calls are made on a separate thread. Only SecurityContext of request thread is
+     * available there; RequestContextHolder, request scoped beans, MDC and transaction of request thread
+     * are not. Such permissions should read request only from RequestObject.
+     */
+    public long getTimeoutMillis() {
+        return 0;
+    }
+
+    /**
+     * Maximum concurrent evaluations of this permission, 0 for no limit. Further evaluations fail fast.
+     * With a time budget, this is also number of threads of this permission; without it, permission gets
+     * authorisation.timeout.maxThreads threads.
+     */
+    public int getMaxConcurrentEvaluations() {
+        return 0;
+    }
+
+    /**
+     * Percentage of failed (exception or timeout) evaluations at which circuit breaker opens and further
+     * evaluations fail fast, 0 to disable circuit breaker. Window size and open duration are configured by
+     * authorisation.circuitBreaker.windowSize and authorisation.circuitBreaker.openDurationMillis.
+     */
+    public int getFailureRateThreshold() {
+        return 0;
+    }
+
+    /**
+     * Decision of isAuthorised when evaluation fails fast or does not complete in time.
+     */
+    public boolean getFallbackDecision() {
+        return false;
+    }
 }
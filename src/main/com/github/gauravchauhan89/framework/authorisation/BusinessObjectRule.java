@@ -11,4 +11,16 @@ import java.util.List;
  */
 public interface BusinessObjectRule {
   boolean validate(Object authenticatedUser, Object businessObject, List<String> args) throws Exception;
+
+  /**
+   * Attribute of businessObject which this rule checks, like BO.organisation. When business object is
+   * a collection, rule is evaluated once per distinct (args, key) and result is reused for other items
+   * with same key. Key should implement equals/hashCode. Return null to evaluate rule for every item.
+   *
+   * @param businessObject
+   * @return
+   */
+  default Object getKey(Object businessObject) {
+    return null;
+  }
 }
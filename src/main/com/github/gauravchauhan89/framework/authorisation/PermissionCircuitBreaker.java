@@ -0,0 +1,165 @@
+package com.github.gauravchauhan89.framework.authorisation;
+
+/**
+ * Circuit breaker of a permission class. It opens when failure rate (errors and timeouts) of last
+ * windowSize evaluations reaches failureRateThreshold. After openDurationMillis one trial evaluation is
+ * allowed, which either closes it again or keeps it open.
+ *
+ * allowRequest() returns generation of breaker, which should be passed on completion of evaluation.
+ * Completions of evaluations allowed before breaker last changed state are ignored.
+ */
+public class PermissionCircuitBreaker {
+
+  public static final long NOT_PERMITTED = -1;
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final int failureRateThreshold;
+  private final long openDurationMillis;
+  private final boolean[] window;
+
+  private State state = State.CLOSED;
+  private long generation;
+  private int calls;
+  private int failures;
+  private int next;
+  private long openedAt;
+  private boolean trialInProgress;
+  private long tripCount;
+
+  /**
+   * @param failureRateThreshold percentage of failed evaluations, 1 to 100
+   * @param windowSize number of last evaluations used to calculate failure rate
+   * @param openDurationMillis
+   */
+  public PermissionCircuitBreaker(int failureRateThreshold, int windowSize, long openDurationMillis) {
+    if (failureRateThreshold < 1 || failureRateThreshold > 100) {
+      throw new IllegalArgumentException("failureRateThreshold should be from 1 to 100");
+    }
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("windowSize should be at least 1");
+    }
+    if (openDurationMillis < 0) {
+      throw new IllegalArgumentException("openDurationMillis cannot be negative");
+    }
+    this.failureRateThreshold = failureRateThreshold;
+    this.openDurationMillis = openDurationMillis;
+    this.window = new boolean[windowSize];
+  }
+
+  /**
+   * @return generation to be passed to onSuccess/onFailure/onIgnored, NOT_PERMITTED if evaluation
+   * should fail fast
+   */
+  public synchronized long allowRequest() {
+    if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMillis) {
+      changeState(State.HALF_OPEN);
+    }
+    if (state == State.HALF_OPEN) {
+      if (trialInProgress) {
+        return NOT_PERMITTED;
+      }
+      trialInProgress = true;
+      return generation;
+    }
+    return state == State.CLOSED ? generation : NOT_PERMITTED;
+  }
+
+  public synchronized void onSuccess(long generation) {
+    if (generation != this.generation) {
+      return;
+    }
+    if (state == State.HALF_OPEN) {
+      changeState(State.CLOSED);
+    } else if (state == State.CLOSED) {
+      record(false);
+    }
+  }
+
+  public synchronized void onFailure(long generation) {
+    if (generation != this.generation) {
+      return;
+    }
+    if (state == State.HALF_OPEN) {
+      trip();
+    } else if (state == State.CLOSED) {
+      record(true);
+    }
+  }
+
+  /**
+   * Evaluation completed without outcome of backend, like interruption of request thread.
+   *
+   * @param generation
+   */
+  public synchronized void onIgnored(long generation) {
+    if (generation == this.generation && state == State.HALF_OPEN) {
+      trialInProgress = false;
+    }
+  }
+
+  private void record(boolean failure) {
+    if (calls == window.length) {
+      if (window[next]) {
+        failures--;
+      }
+    } else {
+      calls++;
+    }
+    window[next] = failure;
+    if (failure) {
+      failures++;
+    }
+    next = (next + 1) % window.length;
+    if (calls == window.length && failures * 100 >= failureRateThreshold * calls) {
+      trip();
+    }
+  }
+
+  private void trip() {
+    changeState(State.OPEN);
+    openedAt = System.currentTimeMillis();
+    tripCount++;
+  }
+
+  private void changeState(State state) {
+    this.state = state;
+    generation++;
+    trialInProgress = false;
+    calls = 0;
+    failures = 0;
+    next = 0;
+  }
+
+  public synchronized State getState() {
+    if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMillis) {
+      return State.HALF_OPEN;
+    }
+    return state;
+  }
+
+  /**
+   * @return number of times circuit breaker has opened
+   */
+  public synchronized long getTripCount() {
+    return tripCount;
+  }
+
+  /**
+   * @return failure percentage of evaluations in current window
+   */
+  public synchronized int getFailureRate() {
+    return calls == 0 ? 0 : failures * 100 / calls;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "PermissionCircuitBreaker{" +
+        "state=" + getState() +
+        ", tripCount=" + tripCount +
+        ", failureRate=" + getFailureRate() +
+        '}';
+  }
+}
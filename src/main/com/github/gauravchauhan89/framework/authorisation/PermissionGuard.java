@@ -0,0 +1,309 @@
+package com.github.gauravchauhan89.framework.authorisation;
+
+import com.github.gauravchauhan89.framework.authorisation.exception.AuthorisationException;
+import com.github.gauravchauhan89.framework.authorisation.exception.PermissionUnavailableException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Applies time budget, concurrent evaluation limit (bulkhead) and circuit breaker of a permission, as
+ * configured by BasePermission, on its isAuthorised and getBusinessObject calls.
+ */
+@Component
+public class PermissionGuard {
+    private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+    private final int circuitBreakerWindowSize;
+
+    private final long circuitBreakerOpenDurationMillis;
+
+    private final Map<Class<?>, Semaphore> bulkheads = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, PermissionCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    /**
+     * Threads of a permission class without concurrent evaluation limit, for evaluations having time budget.
+     */
+    private final int maxThreads;
+
+    /**
+     * Run evaluations having time budget, one per permission class, so evaluations stuck in backend of one
+     * permission do not take threads of others. Evaluations are rejected when all threads are busy.
+     */
+    private final Map<Class<?>, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PermissionGuard(
+        @Value("${authorisation.circuitBreaker.windowSize:20}") int circuitBreakerWindowSize,
+        @Value("${authorisation.circuitBreaker.openDurationMillis:30000}") long circuitBreakerOpenDurationMillis,
+        @Value("${authorisation.timeout.maxThreads:10}") int maxThreads) {
+        if (circuitBreakerWindowSize < 1) {
+            throw new IllegalArgumentException("authorisation.circuitBreaker.windowSize should be at least 1");
+        }
+        if (circuitBreakerOpenDurationMillis < 0) {
+            throw new IllegalArgumentException("authorisation.circuitBreaker.openDurationMillis cannot be negative");
+        }
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("authorisation.timeout.maxThreads should be at least 1");
+        }
+        this.circuitBreakerWindowSize = circuitBreakerWindowSize;
+        this.circuitBreakerOpenDurationMillis = circuitBreakerOpenDurationMillis;
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * permission.isAuthorised(). If permission is unavailable, permission.getFallbackDecision() is returned.
+     *
+     * @param permission
+     * @param user
+     * @param requestObject
+     * @return
+     * @throws Exception
+     */
+    public boolean isAuthorised(BasePermission permission, Object user, RequestObject requestObject) throws Exception {
+        try {
+            return call(permission, () -> permission.isAuthorised(user, requestObject));
+        } catch (PermissionUnavailableException ex) {
+            LOGGER.warn("{}. Using fallback decision.", ex.getMessage());
+            return permission.getFallbackDecision();
+        }
+    }
+
+    /**
+     * permission.getBusinessObject()
+     *
+     * @param permission
+     * @param requestObject
+     * @return
+     * @throws PermissionUnavailableException if permission is unavailable
+     */
+    public Object getBusinessObject(BasePermission permission, RequestObject requestObject) throws Exception {
+        return call(permission, () -> permission.getBusinessObject(requestObject));
+    }
+
+    /**
+     * Circuit breakers of permission classes, for monitoring.
+     *
+     * @return
+     */
+    public Map<Class<?>, PermissionCircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableMap(circuitBreakers);
+    }
+
+    /**
+     * @param permissionClass
+     * @return circuit breaker of permission class, null if it is not enabled or not evaluated yet
+     */
+    public PermissionCircuitBreaker getCircuitBreaker(Class<? extends BasePermission> permissionClass) {
+        return circuitBreakers.get(permissionClass);
+    }
+
+    /**
+     * @param permissionClass
+     * @return number of concurrent evaluations of permission class which are still available
+     */
+    public int getAvailableConcurrentEvaluations(Class<? extends BasePermission> permissionClass) {
+        Semaphore bulkhead = bulkheads.get(permissionClass);
+        return bulkhead == null ? Integer.MAX_VALUE : bulkhead.availablePermits();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor executor : executors.values()) {
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> T call(BasePermission permission, Callable<T> callable) throws Exception {
+        // permission bean might be proxied by spring
+        Class<?> permissionClass = ClassUtils.getUserClass(permission);
+        String permissionName = permissionClass.getName();
+        Semaphore bulkhead = null;
+        if (permission.getMaxConcurrentEvaluations() > 0) {
+            bulkhead = bulkheads.computeIfAbsent(permissionClass,
+                key -> new Semaphore(permission.getMaxConcurrentEvaluations()));
+            if (!bulkhead.tryAcquire()) {
+                throw new PermissionUnavailableException(
+                    permissionName + ": concurrent evaluation limit reached");
+            }
+        }
+        PermissionCircuitBreaker circuitBreaker = null;
+        long generation = PermissionCircuitBreaker.NOT_PERMITTED;
+        if (permission.getFailureRateThreshold() > 0) {
+            circuitBreaker = circuitBreakers.computeIfAbsent(permissionClass,
+                key -> new PermissionCircuitBreaker(permission.getFailureRateThreshold(),
+                    circuitBreakerWindowSize, circuitBreakerOpenDurationMillis));
+            generation = circuitBreaker.allowRequest();
+            if (generation == PermissionCircuitBreaker.NOT_PERMITTED) {
+                if (bulkhead != null) {
+                    bulkhead.release();
+                }
+                throw new PermissionUnavailableException(permissionName + ": circuit breaker open");
+            }
+        }
+
+        Evaluation<T> evaluation = null;
+        if (permission.getTimeoutMillis() > 0) {
+            // bulkhead permit is now held by evaluation
+            evaluation = new Evaluation<>(new DelegatingSecurityContextCallable<>(callable), bulkhead);
+            bulkhead = null;
+            ThreadPoolExecutor executor = executors.computeIfAbsent(permissionClass,
+                key -> newExecutor(key, permission.getMaxConcurrentEvaluations()));
+            try {
+                executor.execute(evaluation.task);
+            } catch (RejectedExecutionException ex) {
+                evaluation.abandon();
+                if (circuitBreaker != null) {
+                    circuitBreaker.onIgnored(generation);
+                }
+                throw new PermissionUnavailableException(permissionName + ": no thread available for evaluation");
+            }
+        }
+
+        try {
+            T result = evaluation != null ? evaluation.get(permission) : callable.call();
+            if (circuitBreaker != null) {
+                circuitBreaker.onSuccess(generation);
+            }
+            return result;
+        } catch (AuthorisationException ex) {
+            // permission denied, evaluation did not fail
+            if (circuitBreaker != null) {
+                circuitBreaker.onSuccess(generation);
+            }
+            throw ex;
+        } catch (InterruptedException ex) {
+            // request thread interrupted, says nothing about backend
+            if (circuitBreaker != null) {
+                circuitBreaker.onIgnored(generation);
+            }
+            throw ex;
+        } catch (Exception | Error ex) {
+            if (circuitBreaker != null) {
+                circuitBreaker.onFailure(generation);
+            }
+            throw ex;
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    /**
+     * With concurrent evaluation limit, executor has that many threads and its queue is bounded by bulkhead;
+     * queue only absorbs evaluations whose thread has released permit but is not yet free. Without it,
+     * executor has maxThreads threads and rejects evaluations when all are busy.
+     */
+    private ThreadPoolExecutor newExecutor(Class<?> permissionClass, int maxConcurrentEvaluations) {
+        ThreadPoolExecutor executor;
+        if (maxConcurrentEvaluations > 0) {
+            executor = new ThreadPoolExecutor(maxConcurrentEvaluations, maxConcurrentEvaluations, 60,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new PermissionThreadFactory(permissionClass));
+        } else {
+            executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<Runnable>(), new PermissionThreadFactory(permissionClass));
+        }
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Evaluation on separate thread, with security context of request thread. Bulkhead permit is released
+     * by evaluation thread when evaluation actually completes, so evaluations stuck in backend after
+     * time budget still count against bulkhead. If evaluation never starts, permit is released by abandon().
+     */
+    private static class Evaluation<T> implements Callable<T> {
+        private final Callable<T> callable;
+        private final Semaphore bulkhead;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final FutureTask<T> task = new FutureTask<>(this);
+
+        Evaluation(Callable<T> callable, Semaphore bulkhead) {
+            this.callable = callable;
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public T call() throws Exception {
+            if (!claimed.compareAndSet(false, true)) {
+                // abandoned before start
+                return null;
+            }
+            try {
+                return callable.call();
+            } finally {
+                if (bulkhead != null) {
+                    bulkhead.release();
+                }
+            }
+        }
+
+        void abandon() {
+            if (claimed.compareAndSet(false, true) && bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+
+        T get(BasePermission permission) throws Exception {
+            try {
+                return task.get(permission.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                task.cancel(true);
+                abandon();
+                throw new PermissionUnavailableException(ClassUtils.getUserClass(permission).getName()
+                    + ": evaluation did not complete in " + permission.getTimeoutMillis() + " ms");
+            } catch (InterruptedException ex) {
+                task.cancel(true);
+                abandon();
+                throw ex;
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof Exception) {
+                    throw (Exception) ex.getCause();
+                }
+                if (ex.getCause() instanceof Error) {
+                    throw (Error) ex.getCause();
+                }
+                throw ex;
+            }
+        }
+    }
+
+    private static class PermissionThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        PermissionThreadFactory(Class<?> permissionClass) {
+            this.prefix = "authorisation-" + permissionClass.getSimpleName() + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.gauravchauhan89.framework.authorisation.exception;
+
+/**
+ * Thrown when permission could not be evaluated in time, its concurrent evaluation limit is reached or
+ * its circuit breaker is open. Permission is not matched in this case.
+ */
+public class PermissionUnavailableException extends Exception {
+
+  public PermissionUnavailableException(String message) {
+    super(message);
+  }
+}
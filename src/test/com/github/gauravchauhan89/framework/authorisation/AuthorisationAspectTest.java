@@ -0,0 +1,102 @@
+package com.github.gauravchauhan89.framework.authorisation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Business object rules of roles. Business objects are organisation names.
+ */
+public class AuthorisationAspectTest {
+
+  private final AuthorisationAspect authorisationAspect = new AuthorisationAspect();
+
+  @Test
+  public void keyedRuleIsEvaluatedOncePerDistinctKey() throws Exception {
+    OrganisationRule rule = new OrganisationRule(true);
+    List<String> businessObjects = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      businessObjects.add(i % 2 == 0 ? "google" : "airtel");
+    }
+
+    assertTrue(validate(businessObjects, role(rule, "google", "airtel")));
+    assertEquals(2, rule.validations);
+  }
+
+  @Test
+  public void ruleWithoutKeyIsEvaluatedForEveryItem() throws Exception {
+    OrganisationRule rule = new OrganisationRule(false);
+
+    assertTrue(validate(Arrays.asList("google", "google", "google"), role(rule, "google")));
+    assertEquals(3, rule.validations);
+  }
+
+  @Test
+  public void resultIsNotSharedBetweenDifferentArguments() throws Exception {
+    OrganisationRule rule = new OrganisationRule(true);
+
+    assertTrue(validate(Arrays.asList("google", "google"), role(rule, "airtel"), role(rule, "google")));
+    assertEquals(2, rule.validations);
+  }
+
+  @Test
+  public void failedKeyRejectsCollection() throws Exception {
+    OrganisationRule rule = new OrganisationRule(true);
+
+    assertFalse(validate(Arrays.asList("google", "google", "airtel", "airtel"), role(rule, "google")));
+    assertEquals(2, rule.validations);
+  }
+
+  @Test
+  public void singleBusinessObjectDoesNotUseKey() throws Exception {
+    OrganisationRule rule = new OrganisationRule(true);
+
+    assertTrue(validate("google", role(rule, "google")));
+    assertEquals(1, rule.validations);
+    assertEquals(0, rule.keys);
+  }
+
+  private boolean validate(Object businessObject, Role... roles) throws Exception {
+    List<List<BusinessObjectRule>> rules = new ArrayList<>();
+    List<List<List<String>>> args = new ArrayList<>();
+    for (Role role : roles) {
+      rules.add(role.getRules());
+      args.add(role.getArguments());
+    }
+    return authorisationAspect.validateRules(null, businessObject, rules, args);
+  }
+
+  private Role role(BusinessObjectRule rule, String... organisations) {
+    Role role = new Role();
+    role.getRules().add(rule);
+    role.getArguments().add(Arrays.asList(organisations));
+    return role;
+  }
+
+  private static class OrganisationRule implements BusinessObjectRule {
+    private final boolean keyed;
+    private int validations;
+    private int keys;
+
+    OrganisationRule(boolean keyed) {
+      this.keyed = keyed;
+    }
+
+    @Override
+    public boolean validate(Object authenticatedUser, Object businessObject, List<String> args) {
+      validations++;
+      return args.contains(businessObject);
+    }
+
+    @Override
+    public Object getKey(Object businessObject) {
+      keys++;
+      return keyed ? businessObject : null;
+    }
+  }
+}
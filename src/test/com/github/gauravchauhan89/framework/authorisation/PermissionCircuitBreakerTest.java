@@ -0,0 +1,110 @@
+package com.github.gauravchauhan89.framework.authorisation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import com.github.gauravchauhan89.framework.authorisation.PermissionCircuitBreaker.State;
+import org.junit.Test;
+
+public class PermissionCircuitBreakerTest {
+
+  private static final long NOT_PERMITTED = PermissionCircuitBreaker.NOT_PERMITTED;
+
+  @Test
+  public void tripsOnlyWhenWindowIsFullAndFailureRateReachesThreshold() {
+    PermissionCircuitBreaker circuitBreaker = new PermissionCircuitBreaker(50, 4, 60000);
+
+    circuitBreaker.onFailure(circuitBreaker.allowRequest());
+    circuitBreaker.onFailure(circuitBreaker.allowRequest());
+    circuitBreaker.onSuccess(circuitBreaker.allowRequest());
+    assertEquals(State.CLOSED, circuitBreaker.getState());
+
+    circuitBreaker.onSuccess(circuitBreaker.allowRequest());
+    assertEquals(State.OPEN, circuitBreaker.getState());
+    assertEquals(1, circuitBreaker.getTripCount());
+    assertEquals(NOT_PERMITTED, circuitBreaker.allowRequest());
+  }
+
+  @Test
+  public void oldFailuresLeaveWindow() {
+    PermissionCircuitBreaker circuitBreaker = new PermissionCircuitBreaker(50, 4, 60000);
+
+    circuitBreaker.onFailure(circuitBreaker.allowRequest());
+    for (int i = 0; i < 10; i++) {
+      circuitBreaker.onSuccess(circuitBreaker.allowRequest());
+    }
+    circuitBreaker.onFailure(circuitBreaker.allowRequest());
+
+    assertEquals(State.CLOSED, circuitBreaker.getState());
+    assertEquals(25, circuitBreaker.getFailureRate());
+  }
+
+  @Test
+  public void halfOpenAllowsSingleTrialWhichClosesBreaker() {
+    PermissionCircuitBreaker circuitBreaker = trippedCircuitBreaker();
+
+    long trial = circuitBreaker.allowRequest();
+    assertNotEquals(NOT_PERMITTED, trial);
+    assertEquals(NOT_PERMITTED, circuitBreaker.allowRequest());
+
+    circuitBreaker.onSuccess(trial);
+    assertEquals(State.CLOSED, circuitBreaker.getState());
+    assertNotEquals(NOT_PERMITTED, circuitBreaker.allowRequest());
+  }
+
+  @Test
+  public void failedTrialOpensBreakerAgain() {
+    PermissionCircuitBreaker circuitBreaker = trippedCircuitBreaker();
+
+    circuitBreaker.onFailure(circuitBreaker.allowRequest());
+
+    assertEquals(2, circuitBreaker.getTripCount());
+  }
+
+  @Test
+  public void ignoredTrialAllowsAnotherTrial() {
+    PermissionCircuitBreaker circuitBreaker = trippedCircuitBreaker();
+
+    circuitBreaker.onIgnored(circuitBreaker.allowRequest());
+
+    assertNotEquals(NOT_PERMITTED, circuitBreaker.allowRequest());
+    assertEquals(1, circuitBreaker.getTripCount());
+  }
+
+  @Test
+  public void completionFromBeforeTripDoesNotDecideTrial() {
+    PermissionCircuitBreaker circuitBreaker = new PermissionCircuitBreaker(100, 1, 0);
+    long slowCall = circuitBreaker.allowRequest();
+    circuitBreaker.onFailure(circuitBreaker.allowRequest());
+
+    long trial = circuitBreaker.allowRequest();
+    circuitBreaker.onSuccess(slowCall);
+    assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+    assertEquals(NOT_PERMITTED, circuitBreaker.allowRequest());
+
+    circuitBreaker.onFailure(trial);
+    assertEquals(2, circuitBreaker.getTripCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void windowSizeShouldBePositive() {
+    new PermissionCircuitBreaker(50, 0, 60000);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failureRateThresholdShouldBePercentage() {
+    new PermissionCircuitBreaker(101, 4, 60000);
+  }
+
+  /**
+   * Open duration is 0, so breaker is half open right after it trips.
+   */
+  private PermissionCircuitBreaker trippedCircuitBreaker() {
+    PermissionCircuitBreaker circuitBreaker = new PermissionCircuitBreaker(100, 2, 0);
+    circuitBreaker.onFailure(circuitBreaker.allowRequest());
+    circuitBreaker.onFailure(circuitBreaker.allowRequest());
+    assertEquals(1, circuitBreaker.getTripCount());
+    assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+    return circuitBreaker;
+  }
+}
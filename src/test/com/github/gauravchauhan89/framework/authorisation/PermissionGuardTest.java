@@ -0,0 +1,266 @@
+package com.github.gauravchauhan89.framework.authorisation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.github.gauravchauhan89.framework.authorisation.PermissionCircuitBreaker.State;
+import com.github.gauravchauhan89.framework.authorisation.exception.AuthorisationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+public class PermissionGuardTest {
+
+  private final CountDownLatch backend = new CountDownLatch(1);
+
+  private PermissionGuard permissionGuard = new PermissionGuard(2, 60000, 10);
+
+  @After
+  public void tearDown() {
+    backend.countDown();
+    permissionGuard.shutdown();
+  }
+
+  @Test
+  public void timedOutEvaluationReturnsFallbackDecision() throws Exception {
+    TestPermission permission = new TestPermission(this::blockUninterruptibly);
+    permission.timeoutMillis = 50;
+    permission.fallbackDecision = true;
+
+    assertTrue(permissionGuard.isAuthorised(permission, null, null));
+  }
+
+  @Test
+  public void bulkheadPermitIsHeldUntilTimedOutEvaluationCompletes() throws Exception {
+    TestPermission permission = new TestPermission(this::blockUninterruptibly);
+    permission.timeoutMillis = 50;
+    permission.maxConcurrentEvaluations = 1;
+
+    assertFalse(permissionGuard.isAuthorised(permission, null, null));
+    assertEquals(0, permissionGuard.getAvailableConcurrentEvaluations(TestPermission.class));
+
+    assertFalse(permissionGuard.isAuthorised(permission, null, null));
+    assertEquals(1, permission.invocations.get());
+
+    backend.countDown();
+    awaitAvailableConcurrentEvaluations(1);
+  }
+
+  @Test
+  public void evaluationIsRejectedWhenAllThreadsOfPermissionAreBusy() throws Exception {
+    permissionGuard.shutdown();
+    permissionGuard = new PermissionGuard(2, 60000, 1);
+    TestPermission permission = new TestPermission(this::blockUninterruptibly);
+    permission.timeoutMillis = 50;
+    permission.fallbackDecision = true;
+
+    assertTrue(permissionGuard.isAuthorised(permission, null, null));
+    assertTrue(permissionGuard.isAuthorised(permission, null, null));
+
+    assertEquals(1, permission.invocations.get());
+  }
+
+  @Test
+  public void stuckPermissionDoesNotTakeThreadsOfOtherPermissions() throws Exception {
+    permissionGuard.shutdown();
+    permissionGuard = new PermissionGuard(2, 60000, 1);
+    TestPermission stuckPermission = new TestPermission(this::blockUninterruptibly);
+    stuckPermission.timeoutMillis = 50;
+    TestPermission healthyPermission = new OtherTestPermission(() -> true);
+    healthyPermission.timeoutMillis = 1000;
+
+    assertFalse(permissionGuard.isAuthorised(stuckPermission, null, null));
+    assertFalse(permissionGuard.isAuthorised(stuckPermission, null, null));
+
+    assertTrue(permissionGuard.isAuthorised(healthyPermission, null, null));
+    assertEquals(1, healthyPermission.invocations.get());
+  }
+
+  @Test
+  public void proxiedPermissionIsKeyedOnItsUserClass() throws Exception {
+    TestPermission permission = new TestPermission$$EnhancerBySpringCGLIB$$1(this::blockUninterruptibly);
+    permission.timeoutMillis = 50;
+    permission.maxConcurrentEvaluations = 2;
+    permission.failureRateThreshold = 100;
+
+    permissionGuard.isAuthorised(permission, null, null);
+
+    assertEquals(1, permissionGuard.getAvailableConcurrentEvaluations(TestPermission.class));
+    assertEquals(100, permissionGuard.getCircuitBreaker(TestPermission.class).getFailureRate());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void windowSizeShouldBePositive() {
+    new PermissionGuard(0, 60000, 10);
+  }
+
+  @Test
+  public void failuresTripCircuitBreaker() throws Exception {
+    TestPermission permission = new TestPermission(() -> {
+      throw new IllegalStateException("backend down");
+    });
+    permission.failureRateThreshold = 100;
+    permission.fallbackDecision = true;
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        permissionGuard.isAuthorised(permission, null, null);
+        fail("Expected backend failure");
+      } catch (IllegalStateException ex) {
+        // expected
+      }
+    }
+
+    assertTrue(permissionGuard.isAuthorised(permission, null, null));
+    assertEquals(2, permission.invocations.get());
+    assertEquals(State.OPEN, permissionGuard.getCircuitBreaker(TestPermission.class).getState());
+    assertEquals(1, permissionGuard.getCircuitBreaker(TestPermission.class).getTripCount());
+  }
+
+  @Test
+  public void timeoutsTripCircuitBreaker() throws Exception {
+    TestPermission permission = new TestPermission(this::blockUninterruptibly);
+    permission.timeoutMillis = 50;
+    permission.failureRateThreshold = 100;
+
+    permissionGuard.isAuthorised(permission, null, null);
+    permissionGuard.isAuthorised(permission, null, null);
+
+    assertEquals(1, permissionGuard.getCircuitBreaker(TestPermission.class).getTripCount());
+  }
+
+  @Test
+  public void deniedPermissionIsNotFailure() throws Exception {
+    TestPermission permission = new TestPermission(() -> {
+      throw new AuthorisationException("denied");
+    });
+    permission.failureRateThreshold = 100;
+
+    for (int i = 0; i < 3; i++) {
+      try {
+        permissionGuard.isAuthorised(permission, null, null);
+        fail("Expected permission denied");
+      } catch (AuthorisationException ex) {
+        // expected
+      }
+    }
+
+    assertEquals(State.CLOSED, permissionGuard.getCircuitBreaker(TestPermission.class).getState());
+    assertEquals(0, permissionGuard.getCircuitBreaker(TestPermission.class).getFailureRate());
+  }
+
+  @Test
+  public void interruptedRequestThreadIsNotFailure() throws Exception {
+    TestPermission permission = new TestPermission(this::blockUninterruptibly);
+    permission.timeoutMillis = 60000;
+    permission.failureRateThreshold = 100;
+    permission.maxConcurrentEvaluations = 1;
+
+    Thread.currentThread().interrupt();
+    try {
+      permissionGuard.isAuthorised(permission, null, null);
+      fail("Expected interruption");
+    } catch (InterruptedException ex) {
+      // expected
+    }
+
+    assertFalse(Thread.currentThread().isInterrupted());
+    assertEquals(0, permissionGuard.getCircuitBreaker(TestPermission.class).getFailureRate());
+    backend.countDown();
+    awaitAvailableConcurrentEvaluations(1);
+  }
+
+  /**
+   * Like socket or JDBC call, which does not respond to interruption.
+   */
+  private boolean blockUninterruptibly() {
+    boolean interrupted = false;
+    while (backend.getCount() > 0) {
+      try {
+        backend.await();
+      } catch (InterruptedException ex) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    return true;
+  }
+
+  private void awaitAvailableConcurrentEvaluations(int expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (permissionGuard.getAvailableConcurrentEvaluations(TestPermission.class) != expected
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(expected, permissionGuard.getAvailableConcurrentEvaluations(TestPermission.class));
+  }
+
+  private interface Backend {
+    boolean call() throws Exception;
+  }
+
+  private static class OtherTestPermission extends TestPermission {
+    OtherTestPermission(Backend backend) {
+      super(backend);
+    }
+  }
+
+  /**
+   * Like class generated by spring for advised permission bean.
+   */
+  private static class TestPermission$$EnhancerBySpringCGLIB$$1 extends TestPermission {
+    TestPermission$$EnhancerBySpringCGLIB$$1(Backend backend) {
+      super(backend);
+    }
+  }
+
+  private static class TestPermission extends BasePermission {
+    private final Backend backend;
+    private final AtomicInteger invocations = new AtomicInteger();
+    private long timeoutMillis;
+    private int maxConcurrentEvaluations;
+    private int failureRateThreshold;
+    private boolean fallbackDecision;
+
+    TestPermission(Backend backend) {
+      this.backend = backend;
+    }
+
+    @Override
+    public boolean isAuthorised(Object authenticatedUser, RequestObject requestObject) throws AuthorisationException {
+      invocations.incrementAndGet();
+      try {
+        return backend.call();
+      } catch (AuthorisationException | RuntimeException ex) {
+        throw ex;
+      } catch (Exception ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+
+    @Override
+    public long getTimeoutMillis() {
+      return timeoutMillis;
+    }
+
+    @Override
+    public int getMaxConcurrentEvaluations() {
+      return maxConcurrentEvaluations;
+    }
+
+    @Override
+    public int getFailureRateThreshold() {
+      return failureRateThreshold;
+    }
+
+    @Override
+    public boolean getFallbackDecision() {
+      return fallbackDecision;
+    }
+  }
+}